@@ -1,13 +1,77 @@
 package com.example.deepagent.config;
 
 import lombok.Data;
+import org.springframework.ai.openai.OpenAiChatOptions;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+
 @Data
 @Configuration
 @ConfigurationProperties(prefix = "agent")
 public class AgentConfig {
     private int maxIterations = 10;
     private double qualityThreshold = 0.75;
+
+    // Per-node model settings; unset values inherit spring.ai.openai.chat.options
+    private ModelSettings planner = new ModelSettings();
+    private ModelSettings executor = new ModelSettings();
+    private ModelSettings synthesis = new ModelSettings();
+    private ModelSettings evaluation = new ModelSettings();
+
+    private Routing routing = new Routing();
+
+    private CircuitBreakerSettings circuitBreaker = new CircuitBreakerSettings();
+
+    private HttpSettings http = new HttpSettings();
+
+    @Data
+    public static class ModelSettings {
+        private String model;
+        private Double temperature;
+        private Integer maxTokens;
+
+        public OpenAiChatOptions toChatOptions() {
+            return OpenAiChatOptions.builder()
+                    .withModel(model)
+                    .withTemperature(temperature)
+                    .withMaxTokens(maxTokens)
+                    .build();
+        }
+    }
+
+    @Data
+    public static class Routing {
+        private boolean enabled = false;
+        // Model used for executor steps estimated below the complexity threshold
+        private ModelSettings fast = new ModelSettings();
+        private int complexityThreshold = 3;
+        // Route every executor step to the executor model after a low-quality evaluation
+        private boolean escalateOnLowQuality = true;
+    }
+
+    @Data
+    public static class CircuitBreakerSettings {
+        private boolean enabled = true;
+        private double failureRateThreshold = 0.5;
+        // Slow calls are a weaker signal than failures, so most of the window must be slow
+        private double slowCallRateThreshold = 0.8;
+        // Above the p99 of a max-tokens-capped non-streaming generation, so only degraded calls count
+        private Duration slowCallDuration = Duration.ofSeconds(60);
+        // Outcomes of the most recent calls, across all nodes, used to compute the rates
+        private int slidingWindowSize = 10;
+        // Clamped to the window size; low enough that a single failing run trips the breaker
+        private int minimumNumberOfCalls = 3;
+        private Duration waitDurationInOpenState = Duration.ofSeconds(30);
+        // Probes are judged together against the thresholds above
+        private int permittedCallsInHalfOpenState = 3;
+    }
+
+    @Data
+    public static class HttpSettings {
+        private Duration connectTimeout = Duration.ofSeconds(5);
+        // Covers the whole generation of a non-streaming call, so it must exceed the slowest healthy node
+        private Duration readTimeout = Duration.ofSeconds(120);
+    }
 }
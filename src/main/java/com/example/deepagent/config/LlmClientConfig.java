@@ -0,0 +1,26 @@
+package com.example.deepagent.config;
+
+import com.example.deepagent.llm.PromptCacheUsageInterceptor;
+import org.springframework.boot.web.client.ClientHttpRequestFactories;
+import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
+import org.springframework.boot.web.client.RestClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class LlmClientConfig {
+
+    // Applied to the RestClient.Builder the OpenAI auto-configuration uses for chat calls
+    @Bean
+    public RestClientCustomizer promptCacheUsageCustomizer(PromptCacheUsageInterceptor interceptor) {
+        return builder -> builder.requestInterceptor(interceptor);
+    }
+
+    @Bean
+    public RestClientCustomizer llmTimeoutCustomizer(AgentConfig agentConfig) {
+        ClientHttpRequestFactorySettings settings = ClientHttpRequestFactorySettings.DEFAULTS
+                .withConnectTimeout(agentConfig.getHttp().getConnectTimeout())
+                .withReadTimeout(agentConfig.getHttp().getReadTimeout());
+        return builder -> builder.requestFactory(ClientHttpRequestFactories.get(settings));
+    }
+}
@@ -3,9 +3,12 @@ package com.example.deepagent.controller;
 import com.example.deepagent.dto.AgentRequest;
 import com.example.deepagent.dto.AgentResponse;
 import com.example.deepagent.graph.AgentGraph;
+import com.example.deepagent.llm.LlmCircuitBreaker;
+import com.example.deepagent.llm.PromptCacheMetrics;
 import com.example.deepagent.model.AgentState;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -17,9 +20,14 @@ import org.springframework.web.bind.annotation.RestController;
 public class AgentController {
 
     private final AgentGraph agentGraph;
+    private final PromptCacheMetrics promptCacheMetrics;
+    private final LlmCircuitBreaker circuitBreaker;
 
-    public AgentController(AgentGraph agentGraph) {
+    public AgentController(AgentGraph agentGraph, PromptCacheMetrics promptCacheMetrics,
+                           LlmCircuitBreaker circuitBreaker) {
         this.agentGraph = agentGraph;
+        this.promptCacheMetrics = promptCacheMetrics;
+        this.circuitBreaker = circuitBreaker;
     }
 
     @PostMapping("/execute")
@@ -39,10 +47,22 @@ public class AgentController {
                 finalState.getExecutionHistory(),
                 finalState.getIterationCount(),
                 finalState.getQualityScore(),
-                finalState.getPlan()
+                finalState.getPlan(),
+                circuitBreaker.state(),
+                finalState.getRejectedLlmCalls()
         );
 
         log.info("Agent execution completed for thread: {}", finalState.getThreadId());
         return ResponseEntity.ok(response);
     }
+
+    @GetMapping("/metrics/prompt-cache")
+    public ResponseEntity<PromptCacheMetrics.Snapshot> promptCache() {
+        return ResponseEntity.ok(promptCacheMetrics.snapshot());
+    }
+
+    @GetMapping("/metrics/circuit-breaker")
+    public ResponseEntity<LlmCircuitBreaker.Snapshot> circuitBreaker() {
+        return ResponseEntity.ok(circuitBreaker.snapshot());
+    }
 }
@@ -10,6 +10,8 @@ public record AgentResponse(
         List<ExecutionStep> executionTrace,
         int iterations,
         double qualityScore,
-        List<String> planSteps
+        List<String> planSteps,
+        String circuitBreakerState,
+        int rejectedLlmCalls
 ) {
 }
@@ -1,22 +1,31 @@
 package com.example.deepagent.graph.node;
 
 import com.example.deepagent.config.AgentConfig;
+import com.example.deepagent.llm.CallNotPermittedException;
+import com.example.deepagent.llm.LlmCircuitBreaker;
+import com.example.deepagent.llm.LlmNode;
+import com.example.deepagent.llm.PromptTemplates;
 import com.example.deepagent.model.AgentState;
 import com.example.deepagent.model.ExecutionStep;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.stereotype.Component;
 
+import java.util.Map;
+
 @Slf4j
 @Component
 public class EvaluatorNode implements Node {
 
     private final ChatClient chatClient;
     private final AgentConfig agentConfig;
+    private final LlmCircuitBreaker circuitBreaker;
 
-    public EvaluatorNode(ChatClient.Builder chatClientBuilder, AgentConfig agentConfig) {
+    public EvaluatorNode(ChatClient.Builder chatClientBuilder, AgentConfig agentConfig,
+                         LlmCircuitBreaker circuitBreaker) {
         this.chatClient = chatClientBuilder.build();
         this.agentConfig = agentConfig;
+        this.circuitBreaker = circuitBreaker;
     }
 
     @Override
@@ -36,57 +45,59 @@ public class EvaluatorNode implements Node {
             String nextAction = determineNextAction(state, qualityScore);
             state.setNextAction(nextAction);
 
+            // A replan after a low score runs every step on the executor model if routing escalates
+            if ("plan".equals(nextAction) && agentConfig.getRouting().isEnabled()
+                    && agentConfig.getRouting().isEscalateOnLowQuality()) {
+                state.setEscalated(true);
+            }
+
             log.info("EvaluatorNode: Quality score: {}, Next action: {}", qualityScore, nextAction);
             return state;
 
+        } catch (CallNotPermittedException e) {
+            log.warn("EvaluatorNode: Circuit open, using fallback synthesis");
+            state.setRejectedLlmCalls(state.getRejectedLlmCalls() + 1);
+            return applyFallbackSynthesis(state);
         } catch (Exception e) {
             log.error("EvaluatorNode: Error calling LLM for evaluation, using fallback", e);
-            // Fallback: generate basic synthesis and finish
-            String synthesis = generateFallbackSynthesis(state);
-            state.setSynthesis(synthesis);
-            state.setQualityScore(0.75);
-            state.setNextAction("finish");
-            return state;
+            return applyFallbackSynthesis(state);
         }
     }
 
-    private String generateSynthesisWithLLM(AgentState state) {
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("You are a synthesis assistant. Create a comprehensive answer to the following query based on the execution results.\n\n");
-        prompt.append("Original Query: ").append(state.getUserQuery()).append("\n\n");
-        prompt.append("Execution Steps and Results:\n");
-
-        for (ExecutionStep step : state.getExecutionHistory()) {
-            prompt.append(String.format("%d. %s\n", step.stepNumber(), step.stepDescription()));
-            prompt.append(String.format("   Result: %s\n\n", step.result()));
-        }
-
-        prompt.append("Synthesize the above results into a clear, comprehensive answer to the original query. ");
-        prompt.append("Be thorough and well-structured.");
+    private AgentState applyFallbackSynthesis(AgentState state) {
+        // Fallback: generate basic synthesis and finish
+        String synthesis = generateFallbackSynthesis(state);
+        state.setSynthesis(synthesis);
+        state.setQualityScore(0.75);
+        state.setNextAction("finish");
+        return state;
+    }
 
-        return chatClient.prompt()
-                .user(prompt.toString())
+    private String generateSynthesisWithLLM(AgentState state) {
+        String prompt = PromptTemplates.SYNTHESIS.render(Map.of(
+                "query", String.valueOf(state.getUserQuery()),
+                "history", PromptTemplates.renderHistory(state.getExecutionHistory())
+        ));
+
+        return circuitBreaker.call(LlmNode.SYNTHESIS, () -> chatClient.prompt()
+                .user(prompt)
+                .options(agentConfig.getSynthesis().toChatOptions())
                 .call()
-                .content();
+                .content());
     }
 
     private double evaluateQualityWithLLM(AgentState state, String synthesis) {
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("You are a quality evaluator. Evaluate the quality and completeness of the following answer.\n\n");
-        prompt.append("Original Query: ").append(state.getUserQuery()).append("\n\n");
-        prompt.append("Answer: ").append(synthesis).append("\n\n");
-        prompt.append("Evaluate on a scale from 0.0 to 1.0 where:\n");
-        prompt.append("- 1.0 = Perfect, complete, accurate answer\n");
-        prompt.append("- 0.7-0.9 = Good answer with minor gaps\n");
-        prompt.append("- 0.5-0.7 = Acceptable but incomplete\n");
-        prompt.append("- Below 0.5 = Poor or significantly incomplete\n\n");
-        prompt.append("Return ONLY a number between 0.0 and 1.0, nothing else.");
+        String prompt = PromptTemplates.EVALUATION.render(Map.of(
+                "query", String.valueOf(state.getUserQuery()),
+                "answer", String.valueOf(synthesis)
+        ));
 
         try {
-            String response = chatClient.prompt()
-                    .user(prompt.toString())
+            String response = circuitBreaker.call(LlmNode.EVALUATION, () -> chatClient.prompt()
+                    .user(prompt)
+                    .options(agentConfig.getEvaluation().toChatOptions())
                     .call()
-                    .content()
+                    .content())
                     .trim();
 
             // Extract number from response
@@ -96,6 +107,10 @@ public class EvaluatorNode implements Node {
             // Clamp to valid range
             return Math.max(0.0, Math.min(1.0, score));
 
+        } catch (CallNotPermittedException e) {
+            log.warn("EvaluatorNode: Circuit open, using default quality score 0.75");
+            state.setRejectedLlmCalls(state.getRejectedLlmCalls() + 1);
+            return 0.75;
         } catch (Exception e) {
             log.warn("EvaluatorNode: Could not parse quality score, using default 0.75", e);
             return 0.75;
@@ -1,5 +1,10 @@
 package com.example.deepagent.graph.node;
 
+import com.example.deepagent.llm.CallNotPermittedException;
+import com.example.deepagent.llm.LlmCircuitBreaker;
+import com.example.deepagent.llm.LlmNode;
+import com.example.deepagent.llm.ModelRouter;
+import com.example.deepagent.llm.PromptTemplates;
 import com.example.deepagent.model.AgentState;
 import com.example.deepagent.model.ExecutionStep;
 import lombok.extern.slf4j.Slf4j;
@@ -8,15 +13,21 @@ import org.springframework.stereotype.Component;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Map;
 
 @Slf4j
 @Component
 public class ExecutorNode implements Node {
 
     private final ChatClient chatClient;
+    private final ModelRouter modelRouter;
+    private final LlmCircuitBreaker circuitBreaker;
 
-    public ExecutorNode(ChatClient.Builder chatClientBuilder) {
+    public ExecutorNode(ChatClient.Builder chatClientBuilder, ModelRouter modelRouter,
+                        LlmCircuitBreaker circuitBreaker) {
         this.chatClient = chatClientBuilder.build();
+        this.modelRouter = modelRouter;
+        this.circuitBreaker = circuitBreaker;
     }
 
     @Override
@@ -33,11 +44,13 @@ public class ExecutorNode implements Node {
             // Create prompt for execution
             String prompt = createExecutionPrompt(state);
 
-            // Call LLM to execute the step
-            String result = chatClient.prompt()
+            // Call LLM to execute the step on the model selected by the router,
+            // failing fast while the provider circuit is open
+            String result = circuitBreaker.call(LlmNode.EXECUTOR, () -> chatClient.prompt()
                     .user(prompt)
+                    .options(modelRouter.selectExecutorOptions(state))
                     .call()
-                    .content();
+                    .content());
 
             ExecutionStep step = new ExecutionStep(
                     stepNumber,
@@ -49,59 +62,54 @@ public class ExecutorNode implements Node {
             state.getExecutionHistory().add(step);
 
             // Determine next action: move to next step or evaluate
-            if (stepNumber < state.getPlan().size()) {
-                state.setCurrentStep(state.getPlan().get(stepNumber));
-                state.setNextAction("execute");
-                log.info("ExecutorNode: Moving to next step ({}/{})", stepNumber + 1, state.getPlan().size());
-            } else {
-                state.setNextAction("evaluate");
-                log.info("ExecutorNode: All steps executed, moving to evaluation");
-            }
-
-            return state;
+            return advance(state);
 
+        } catch (CallNotPermittedException e) {
+            log.warn("ExecutorNode: Circuit open, using fallback result");
+            state.setRejectedLlmCalls(state.getRejectedLlmCalls() + 1);
+            return applyFallbackResult(state, stepNumber);
         } catch (Exception e) {
             log.error("ExecutorNode: Error calling LLM for execution", e);
-            // Create fallback result
-            String fallbackResult = String.format("Error executing step: %s. Using fallback.", state.getCurrentStep());
-            ExecutionStep step = new ExecutionStep(
-                    stepNumber,
-                    state.getCurrentStep(),
-                    fallbackResult,
-                    LocalDateTime.now()
-            );
-            state.getExecutionHistory().add(step);
-
-            // Continue to next step or evaluate
-            if (stepNumber < state.getPlan().size()) {
-                state.setCurrentStep(state.getPlan().get(stepNumber));
-                state.setNextAction("execute");
-            } else {
-                state.setNextAction("evaluate");
-            }
-
-            return state;
+            return applyFallbackResult(state, stepNumber);
         }
     }
 
-    private String createExecutionPrompt(AgentState state) {
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("You are an execution assistant working on the following query:\n\n");
-        prompt.append("Original Query: ").append(state.getUserQuery()).append("\n\n");
-        prompt.append("Current Step to Execute: ").append(state.getCurrentStep()).append("\n\n");
-
-        if (!state.getExecutionHistory().isEmpty()) {
-            prompt.append("Previous steps completed:\n");
-            for (ExecutionStep step : state.getExecutionHistory()) {
-                prompt.append(String.format("%d. %s\n   Result: %s\n",
-                        step.stepNumber(), step.stepDescription(), step.result()));
-            }
-            prompt.append("\n");
+    private AgentState applyFallbackResult(AgentState state, int stepNumber) {
+        // Create fallback result
+        String fallbackResult = String.format("Error executing step: %s. Using fallback.", state.getCurrentStep());
+        ExecutionStep step = new ExecutionStep(
+                stepNumber,
+                state.getCurrentStep(),
+                fallbackResult,
+                LocalDateTime.now()
+        );
+        state.getExecutionHistory().add(step);
+
+        // Continue to next step or evaluate
+        return advance(state);
+    }
+
+    private AgentState advance(AgentState state) {
+        // Position comes from the current plan; the history also holds earlier iterations
+        int nextIndex = state.getCurrentStepIndex() + 1;
+        if (nextIndex < state.getPlan().size()) {
+            state.setCurrentStep(state.getPlan().get(nextIndex));
+            state.setCurrentStepIndex(nextIndex);
+            state.setNextAction("execute");
+            log.info("ExecutorNode: Moving to next step ({}/{})", nextIndex + 1, state.getPlan().size());
+        } else {
+            state.setNextAction("evaluate");
+            log.info("ExecutorNode: All steps executed, moving to evaluation");
         }
 
-        prompt.append("Execute the current step and provide a detailed result. ");
-        prompt.append("Be thorough and specific in your execution.");
+        return state;
+    }
 
-        return prompt.toString();
+    private String createExecutionPrompt(AgentState state) {
+        return PromptTemplates.EXECUTION.render(Map.of(
+                "query", String.valueOf(state.getUserQuery()),
+                "history", PromptTemplates.renderHistory(state.getExecutionHistory()),
+                "step", String.valueOf(state.getCurrentStep())
+        ));
     }
 }
@@ -1,5 +1,10 @@
 package com.example.deepagent.graph.node;
 
+import com.example.deepagent.config.AgentConfig;
+import com.example.deepagent.llm.CallNotPermittedException;
+import com.example.deepagent.llm.LlmCircuitBreaker;
+import com.example.deepagent.llm.LlmNode;
+import com.example.deepagent.llm.PromptTemplates;
 import com.example.deepagent.model.AgentState;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.ai.chat.client.ChatClient;
@@ -7,6 +12,7 @@ import org.springframework.stereotype.Component;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Slf4j
@@ -14,9 +20,14 @@ import java.util.stream.Collectors;
 public class PlannerNode implements Node {
 
     private final ChatClient chatClient;
+    private final AgentConfig agentConfig;
+    private final LlmCircuitBreaker circuitBreaker;
 
-    public PlannerNode(ChatClient.Builder chatClientBuilder) {
+    public PlannerNode(ChatClient.Builder chatClientBuilder, AgentConfig agentConfig,
+                       LlmCircuitBreaker circuitBreaker) {
         this.chatClient = chatClientBuilder.build();
+        this.agentConfig = agentConfig;
+        this.circuitBreaker = circuitBreaker;
     }
 
     @Override
@@ -27,11 +38,12 @@ public class PlannerNode implements Node {
             // Create prompt for planning
             String prompt = createPlanningPrompt(state);
 
-            // Call LLM to generate plan
-            String response = chatClient.prompt()
+            // Call LLM to generate plan, failing fast while the provider circuit is open
+            String response = circuitBreaker.call(LlmNode.PLANNER, () -> chatClient.prompt()
                     .user(prompt)
+                    .options(agentConfig.getPlanner().toChatOptions())
                     .call()
-                    .content();
+                    .content());
 
             // Parse the response into a list of steps
             List<String> plan = parsePlanFromResponse(response);
@@ -43,38 +55,42 @@ public class PlannerNode implements Node {
 
             state.setPlan(plan);
             state.setCurrentStep(plan.get(0));
+            state.setCurrentStepIndex(0);
             state.setNextAction("execute");
             state.setIterationCount(state.getIterationCount() + 1);
 
             log.info("PlannerNode: Created plan with {} steps", plan.size());
             return state;
 
+        } catch (CallNotPermittedException e) {
+            log.warn("PlannerNode: Circuit open, using fallback plan");
+            state.setRejectedLlmCalls(state.getRejectedLlmCalls() + 1);
+            return applyFallbackPlan(state);
         } catch (Exception e) {
             log.error("PlannerNode: Error calling LLM, using fallback plan", e);
-            List<String> fallbackPlan = createFallbackPlan(state.getUserQuery());
-            state.setPlan(fallbackPlan);
-            state.setCurrentStep(fallbackPlan.get(0));
-            state.setNextAction("execute");
-            state.setIterationCount(state.getIterationCount() + 1);
-            return state;
+            return applyFallbackPlan(state);
         }
     }
 
-    private String createPlanningPrompt(AgentState state) {
-        StringBuilder prompt = new StringBuilder();
-        prompt.append("You are a planning assistant. Break down the following task into 3-5 specific, actionable steps.\n\n");
-        prompt.append("Task: ").append(state.getUserQuery()).append("\n\n");
+    private AgentState applyFallbackPlan(AgentState state) {
+        List<String> fallbackPlan = createFallbackPlan(state.getUserQuery());
+        state.setPlan(fallbackPlan);
+        state.setCurrentStep(fallbackPlan.get(0));
+        state.setCurrentStepIndex(0);
+        state.setNextAction("execute");
+        state.setIterationCount(state.getIterationCount() + 1);
+        return state;
+    }
 
+    private String createPlanningPrompt(AgentState state) {
         if (state.getIterationCount() > 0 && state.getSynthesis() != null) {
-            prompt.append("Previous attempt summary:\n");
-            prompt.append(state.getSynthesis()).append("\n\n");
-            prompt.append("Please create an improved plan based on the previous attempt.\n\n");
+            return PromptTemplates.REPLANNING.render(Map.of(
+                    "query", String.valueOf(state.getUserQuery()),
+                    "synthesis", state.getSynthesis()
+            ));
         }
 
-        prompt.append("Return ONLY the numbered steps, one per line, starting with '1.', '2.', etc.\n");
-        prompt.append("Do not include any explanation or preamble. Just the steps.");
-
-        return prompt.toString();
+        return PromptTemplates.PLANNING.render(Map.of("query", String.valueOf(state.getUserQuery())));
     }
 
     private List<String> parsePlanFromResponse(String response) {
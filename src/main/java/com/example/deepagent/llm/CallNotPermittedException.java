@@ -0,0 +1,8 @@
+package com.example.deepagent.llm;
+
+public class CallNotPermittedException extends RuntimeException {
+
+    public CallNotPermittedException(String node) {
+        super("Circuit breaker is open, call from node '" + node + "' not permitted");
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.deepagent.llm;
+
+import com.example.deepagent.config.AgentConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.Optional;
+
+@Slf4j
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    // Issued per admitted call; results from an earlier state epoch are ignored
+    public record Permit(long epoch) {
+    }
+
+    private final String name;
+    private final AgentConfig.CircuitBreakerSettings settings;
+    private final int minimumNumberOfCalls;
+
+    // Ring buffer of recent call outcomes while closed
+    private final boolean[] failures;
+    private final boolean[] slowCalls;
+    private int recorded;
+    private int next;
+
+    private State state = State.CLOSED;
+    private long epoch;
+    private long openedAtNanos;
+    private int probesInFlight;
+    private int probesCompleted;
+    private int probeFailures;
+    private int probeSlowCalls;
+
+    public CircuitBreaker(String name, AgentConfig.CircuitBreakerSettings settings) {
+        if (settings.getSlidingWindowSize() < 1) {
+            throw new IllegalArgumentException("sliding-window-size must be at least 1");
+        }
+        if (settings.getPermittedCallsInHalfOpenState() < 1) {
+            throw new IllegalArgumentException("permitted-calls-in-half-open-state must be at least 1");
+        }
+        this.name = name;
+        this.settings = settings;
+        // A minimum above the window could never be reached and the breaker would never open
+        this.minimumNumberOfCalls = Math.max(1, Math.min(settings.getMinimumNumberOfCalls(), settings.getSlidingWindowSize()));
+        this.failures = new boolean[settings.getSlidingWindowSize()];
+        this.slowCalls = new boolean[settings.getSlidingWindowSize()];
+    }
+
+    public synchronized Optional<Permit> tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (System.nanoTime() - openedAtNanos < settings.getWaitDurationInOpenState().toNanos()) {
+                return Optional.empty();
+            }
+            transitionTo(State.HALF_OPEN);
+        }
+
+        if (state == State.HALF_OPEN) {
+            if (probesInFlight >= settings.getPermittedCallsInHalfOpenState()) {
+                return Optional.empty();
+            }
+            probesInFlight++;
+        }
+
+        return Optional.of(new Permit(epoch));
+    }
+
+    public synchronized void onResult(Permit permit, boolean failed, Duration duration) {
+        if (permit.epoch() != epoch) {
+            // Call was admitted before the last transition; its outcome no longer matters
+            return;
+        }
+
+        boolean slow = duration.compareTo(settings.getSlowCallDuration()) > 0;
+
+        switch (state) {
+            case CLOSED -> {
+                failures[next] = failed;
+                slowCalls[next] = slow;
+                next = (next + 1) % failures.length;
+                recorded = Math.min(recorded + 1, failures.length);
+
+                if (recorded >= minimumNumberOfCalls
+                        && (rate(failures) >= settings.getFailureRateThreshold()
+                        || rate(slowCalls) >= settings.getSlowCallRateThreshold())) {
+                    transitionTo(State.OPEN);
+                }
+            }
+            case HALF_OPEN -> {
+                probesInFlight--;
+                probesCompleted++;
+                if (failed) {
+                    probeFailures++;
+                }
+                if (slow) {
+                    probeSlowCalls++;
+                }
+
+                // Judge the probes together with the same thresholds, so one slow success cannot reopen
+                int permitted = settings.getPermittedCallsInHalfOpenState();
+                if (probesCompleted >= permitted) {
+                    boolean unhealthy = (double) probeFailures / permitted >= settings.getFailureRateThreshold()
+                            || (double) probeSlowCalls / permitted >= settings.getSlowCallRateThreshold();
+                    transitionTo(unhealthy ? State.OPEN : State.CLOSED);
+                }
+            }
+            case OPEN -> {
+                // No permits are issued while open, so nothing can match this epoch
+            }
+        }
+    }
+
+    // Hands back a permit whose call ended without a provider-side outcome
+    public synchronized void release(Permit permit) {
+        if (permit.epoch() == epoch && state == State.HALF_OPEN) {
+            probesInFlight--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    private double rate(boolean[] outcomes) {
+        int count = 0;
+        for (int i = 0; i < recorded; i++) {
+            if (outcomes[i]) {
+                count++;
+            }
+        }
+        return (double) count / recorded;
+    }
+
+    private void transitionTo(State newState) {
+        log.info("CircuitBreaker: {} transitioned from {} to {}", name, state, newState);
+        state = newState;
+        epoch++;
+        probesInFlight = 0;
+        probesCompleted = 0;
+        probeFailures = 0;
+        probeSlowCalls = 0;
+
+        switch (newState) {
+            case OPEN -> openedAtNanos = System.nanoTime();
+            case CLOSED -> {
+                recorded = 0;
+                next = 0;
+            }
+            case HALF_OPEN -> {
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.example.deepagent.llm;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Parsed once into literal segments and {{placeholder}} slots; rendering is plain appends
+public final class CompiledTemplate {
+
+    private static final String OPEN = "{{";
+    private static final String CLOSE = "}}";
+
+    private final String[] literals;
+    private final String[] variables;
+    private final int literalLength;
+
+    private CompiledTemplate(String[] literals, String[] variables) {
+        this.literals = literals;
+        this.variables = variables;
+        int length = 0;
+        for (String literal : literals) {
+            length += literal.length();
+        }
+        this.literalLength = length;
+    }
+
+    public static CompiledTemplate compile(String template) {
+        List<String> literals = new ArrayList<>();
+        List<String> variables = new ArrayList<>();
+
+        int position = 0;
+        int open = template.indexOf(OPEN);
+        while (open >= 0) {
+            int close = template.indexOf(CLOSE, open + OPEN.length());
+            if (close < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder at index " + open);
+            }
+            literals.add(template.substring(position, open));
+            variables.add(template.substring(open + OPEN.length(), close).trim());
+            position = close + CLOSE.length();
+            open = template.indexOf(OPEN, position);
+        }
+        literals.add(template.substring(position));
+
+        return new CompiledTemplate(literals.toArray(String[]::new), variables.toArray(String[]::new));
+    }
+
+    public String render(Map<String, String> values) {
+        StringBuilder out = new StringBuilder(literalLength + 256);
+        renderTo(out, values);
+        return out.toString();
+    }
+
+    public void renderTo(StringBuilder out, Map<String, String> values) {
+        for (int i = 0; i < variables.length; i++) {
+            out.append(literals[i]);
+            String value = values.get(variables[i]);
+            if (value == null) {
+                throw new IllegalArgumentException("Missing value for placeholder: " + variables[i]);
+            }
+            out.append(value);
+        }
+        out.append(literals[variables.length]);
+    }
+}
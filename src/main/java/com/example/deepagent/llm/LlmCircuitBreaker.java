@@ -0,0 +1,121 @@
+package com.example.deepagent.llm;
+
+import com.example.deepagent.config.AgentConfig;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+// One breaker for the provider, fed by every node, so a failure anywhere fails the rest fast;
+// per-node counters are kept for reporting only
+@Component
+public class LlmCircuitBreaker {
+
+    private final AgentConfig agentConfig;
+    private final CircuitBreaker breaker;
+    private final Map<LlmNode, NodeCounters> counters = new EnumMap<>(LlmNode.class);
+
+    public LlmCircuitBreaker(AgentConfig agentConfig) {
+        this.agentConfig = agentConfig;
+        this.breaker = new CircuitBreaker("openai", agentConfig.getCircuitBreaker());
+        for (LlmNode node : LlmNode.values()) {
+            counters.put(node, new NodeCounters());
+        }
+    }
+
+    public <T> T call(LlmNode node, Supplier<T> call) {
+        if (!agentConfig.getCircuitBreaker().isEnabled()) {
+            return call.get();
+        }
+
+        NodeCounters nodeCounters = counters.get(node);
+        CircuitBreaker.Permit permit = breaker.tryAcquirePermission().orElse(null);
+        if (permit == null) {
+            nodeCounters.rejected.incrementAndGet();
+            throw new CallNotPermittedException(node.key());
+        }
+
+        nodeCounters.calls.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            T result = call.get();
+            record(nodeCounters, permit, false, Duration.ofNanos(System.nanoTime() - start));
+            return result;
+        } catch (RuntimeException | Error e) {
+            if (isProviderFailure(e)) {
+                record(nodeCounters, permit, true, Duration.ofNanos(System.nanoTime() - start));
+            } else {
+                // A bad request from one run says nothing about the provider's health
+                breaker.release(permit);
+            }
+            throw e;
+        }
+    }
+
+    static boolean isProviderFailure(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause()) {
+            if (e instanceof TransientAiException
+                    || e instanceof ResourceAccessException
+                    || e instanceof HttpServerErrorException
+                    || e instanceof HttpClientErrorException.TooManyRequests) {
+                return true;
+            }
+            // Spring AI maps every 4xx to NonTransientAiException("<status> - <body>"), including rate limits
+            if (e instanceof NonTransientAiException) {
+                return e.getMessage() != null && e.getMessage().startsWith("429");
+            }
+        }
+        return false;
+    }
+
+    public String state() {
+        return breaker.getState().name();
+    }
+
+    public Snapshot snapshot() {
+        Map<String, NodeStats> nodes = new LinkedHashMap<>();
+        counters.forEach((node, c) -> nodes.put(node.key(), new NodeStats(
+                c.calls.get(), c.failures.get(), c.slowCalls.get(), c.rejected.get())));
+        return new Snapshot(breaker.getState().name(), nodes);
+    }
+
+    private void record(NodeCounters nodeCounters, CircuitBreaker.Permit permit, boolean failed, Duration duration) {
+        if (failed) {
+            nodeCounters.failures.incrementAndGet();
+        }
+        if (duration.compareTo(agentConfig.getCircuitBreaker().getSlowCallDuration()) > 0) {
+            nodeCounters.slowCalls.incrementAndGet();
+        }
+        breaker.onResult(permit, failed, duration);
+    }
+
+    public record Snapshot(
+            String state,
+            Map<String, NodeStats> nodes
+    ) {
+    }
+
+    public record NodeStats(
+            long calls,
+            long failures,
+            long slowCalls,
+            long rejected
+    ) {
+    }
+
+    private static class NodeCounters {
+        private final AtomicLong calls = new AtomicLong();
+        private final AtomicLong failures = new AtomicLong();
+        private final AtomicLong slowCalls = new AtomicLong();
+        private final AtomicLong rejected = new AtomicLong();
+    }
+}
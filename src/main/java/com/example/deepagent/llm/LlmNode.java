@@ -0,0 +1,15 @@
+package com.example.deepagent.llm;
+
+import java.util.Locale;
+
+// Nodes whose LLM calls go through the shared circuit breaker
+public enum LlmNode {
+    PLANNER,
+    EXECUTOR,
+    SYNTHESIS,
+    EVALUATION;
+
+    public String key() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.deepagent.llm;
+
+import com.example.deepagent.config.AgentConfig;
+import com.example.deepagent.model.AgentState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.ai.openai.OpenAiChatOptions;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+@Slf4j
+@Component
+public class ModelRouter {
+
+    private static final List<String> COMPLEX_KEYWORDS = List.of(
+            "analy", "compar", "synthes", "evaluat", "design", "architect",
+            "trade-off", "tradeoff", "reason", "justify", "derive", "prove", "optimi", "critique"
+    );
+
+    private final AgentConfig agentConfig;
+
+    public ModelRouter(AgentConfig agentConfig) {
+        this.agentConfig = agentConfig;
+    }
+
+    public OpenAiChatOptions selectExecutorOptions(AgentState state) {
+        AgentConfig.Routing routing = agentConfig.getRouting();
+        if (!routing.isEnabled()) {
+            return agentConfig.getExecutor().toChatOptions();
+        }
+
+        if (state.isEscalated()) {
+            log.info("ModelRouter: Run escalated, routing step to executor model");
+            return agentConfig.getExecutor().toChatOptions();
+        }
+
+        // History spans every iteration, so position comes from the current plan
+        List<String> plan = state.getPlan();
+        boolean finalStep = plan != null && state.getCurrentStepIndex() == plan.size() - 1;
+        int complexity = estimateComplexity(state.getCurrentStep(), finalStep);
+
+        if (complexity >= routing.getComplexityThreshold()) {
+            log.info("ModelRouter: Step complexity {}, routing to executor model", complexity);
+            return agentConfig.getExecutor().toChatOptions();
+        }
+
+        log.info("ModelRouter: Step complexity {}, routing to fast model", complexity);
+        return routing.getFast().toChatOptions();
+    }
+
+    int estimateComplexity(String step, boolean finalStep) {
+        if (step == null || step.isBlank()) {
+            return 0;
+        }
+
+        String text = step.toLowerCase(Locale.ROOT);
+        int score = text.split("\\s+").length / 12;
+
+        for (String keyword : COMPLEX_KEYWORDS) {
+            if (text.contains(keyword)) {
+                score += 2;
+            }
+        }
+
+        // Compound steps ask for more than one thing
+        score += countOccurrences(text, " and ") + countOccurrences(text, ";");
+
+        // The last step usually aggregates everything executed before it
+        if (finalStep) {
+            score += 1;
+        }
+
+        return score;
+    }
+
+    private int countOccurrences(String text, String token) {
+        int count = 0;
+        int index = text.indexOf(token);
+        while (index >= 0) {
+            count++;
+            index = text.indexOf(token, index + token.length());
+        }
+        return count;
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.deepagent.llm;
+
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+@Component
+public class PromptCacheMetrics {
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong promptTokens = new AtomicLong();
+    private final AtomicLong cachedTokens = new AtomicLong();
+
+    public void record(long prompt, long cached) {
+        requests.incrementAndGet();
+        promptTokens.addAndGet(prompt);
+        cachedTokens.addAndGet(cached);
+    }
+
+    public Snapshot snapshot() {
+        long prompt = promptTokens.get();
+        long cached = cachedTokens.get();
+        double hitRate = prompt > 0 ? (double) cached / prompt : 0.0;
+        return new Snapshot(requests.get(), prompt, cached, hitRate);
+    }
+
+    public record Snapshot(
+            long requests,
+            long promptTokens,
+            long cachedTokens,
+            double hitRate
+    ) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.deepagent.llm;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+// Spring AI's typed usage does not carry cached tokens yet, so read them from the raw
+// chat completion body: usage.prompt_tokens_details.cached_tokens
+@Slf4j
+@Component
+public class PromptCacheUsageInterceptor implements ClientHttpRequestInterceptor {
+
+    private final PromptCacheMetrics metrics;
+    private final ObjectMapper objectMapper;
+
+    public PromptCacheUsageInterceptor(PromptCacheMetrics metrics, ObjectMapper objectMapper) {
+        this.metrics = metrics;
+        this.objectMapper = objectMapper;
+    }
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body,
+                                        ClientHttpRequestExecution execution) throws IOException {
+        ClientHttpResponse response = execution.execute(request, body);
+
+        if (!request.getURI().getPath().endsWith("/chat/completions")
+                || !response.getStatusCode().is2xxSuccessful()
+                || !MediaType.APPLICATION_JSON.isCompatibleWith(response.getHeaders().getContentType())) {
+            return response;
+        }
+
+        byte[] content = StreamUtils.copyToByteArray(response.getBody());
+        recordUsage(content);
+        return new BufferedResponse(response, content);
+    }
+
+    private void recordUsage(byte[] content) {
+        try {
+            JsonNode usage = objectMapper.readTree(content).path("usage");
+            if (usage.isMissingNode()) {
+                return;
+            }
+            long promptTokens = usage.path("prompt_tokens").asLong();
+            long cachedTokens = usage.path("prompt_tokens_details").path("cached_tokens").asLong();
+            metrics.record(promptTokens, cachedTokens);
+            log.debug("PromptCacheUsageInterceptor: Prompt tokens: {}, cached: {}", promptTokens, cachedTokens);
+        } catch (IOException e) {
+            log.warn("PromptCacheUsageInterceptor: Could not read usage from response", e);
+        }
+    }
+
+    private record BufferedResponse(ClientHttpResponse delegate, byte[] content) implements ClientHttpResponse {
+
+        @Override
+        public HttpStatusCode getStatusCode() throws IOException {
+            return delegate.getStatusCode();
+        }
+
+        @Override
+        public String getStatusText() throws IOException {
+            return delegate.getStatusText();
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return delegate.getHeaders();
+        }
+
+        @Override
+        public InputStream getBody() {
+            return new ByteArrayInputStream(content);
+        }
+
+        @Override
+        public void close() {
+            delegate.close();
+        }
+    }
+}
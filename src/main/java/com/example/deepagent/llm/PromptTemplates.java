@@ -0,0 +1,89 @@
+package com.example.deepagent.llm;
+
+import com.example.deepagent.model.ExecutionStep;
+
+import java.util.List;
+import java.util.Map;
+
+// Every node opens with the same preamble, query and execution history, and puts its own
+// instructions after them, so each call reuses the cached prefix of the call before it.
+public final class PromptTemplates {
+
+    private static final String PREAMBLE = """
+            You are one stage of a research agent that plans how to answer a query, executes the plan step by step and synthesizes the results.
+
+            Original Query: {{query}}
+            """;
+
+    // The history block only ever grows by appending, keeping earlier steps in the cached prefix
+    private static final String HISTORY = """
+
+            Previous steps completed:
+            {{history}}""";
+
+    private static final String PLANNING_TEXT = PREAMBLE + """
+
+            Task: Break down the query above into 3-5 specific, actionable steps.
+            Return ONLY the numbered steps, one per line, starting with '1.', '2.', etc.
+            Do not include any explanation or preamble. Just the steps.
+            """;
+
+    public static final CompiledTemplate PLANNING = CompiledTemplate.compile(PLANNING_TEXT);
+
+    // Extends the planning prompt so a replan reuses its cached prefix
+    public static final CompiledTemplate REPLANNING = CompiledTemplate.compile(PLANNING_TEXT + """
+
+            Previous attempt summary:
+            {{synthesis}}
+
+            Please create an improved plan based on the previous attempt.
+            """);
+
+    public static final CompiledTemplate EXECUTION = CompiledTemplate.compile(PREAMBLE + HISTORY + """
+
+            Task: Execute the current step and provide a detailed result. Be thorough and specific in your execution.
+
+            Current Step to Execute: {{step}}
+            """);
+
+    // Shares the query and full history prefix with the executor call just before it
+    public static final CompiledTemplate SYNTHESIS = CompiledTemplate.compile(PREAMBLE + HISTORY + """
+
+            Task: Synthesize the results above into a clear, comprehensive answer to the original query.
+            Be thorough and well-structured.
+            """);
+
+    // Evaluation uses a different model with its own cache, so repeating the history would only add tokens
+    public static final CompiledTemplate EVALUATION = CompiledTemplate.compile(PREAMBLE + """
+
+            Answer: {{answer}}
+
+            Task: Evaluate the quality and completeness of the answer above on a scale from 0.0 to 1.0 where:
+            - 1.0 = Perfect, complete, accurate answer
+            - 0.7-0.9 = Good answer with minor gaps
+            - 0.5-0.7 = Acceptable but incomplete
+            - Below 0.5 = Poor or significantly incomplete
+
+            Return ONLY a number between 0.0 and 1.0, nothing else.
+            """);
+
+    private static final CompiledTemplate HISTORY_STEP = CompiledTemplate.compile("""
+            {{number}}. {{description}}
+               Result: {{result}}
+            """);
+
+    private PromptTemplates() {
+    }
+
+    public static String renderHistory(List<ExecutionStep> history) {
+        StringBuilder out = new StringBuilder();
+        for (ExecutionStep step : history) {
+            HISTORY_STEP.renderTo(out, Map.of(
+                    "number", Integer.toString(step.stepNumber()),
+                    "description", String.valueOf(step.stepDescription()),
+                    "result", String.valueOf(step.result())
+            ));
+        }
+        return out.toString();
+    }
+}
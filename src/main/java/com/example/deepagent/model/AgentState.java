@@ -16,10 +16,13 @@ public class AgentState {
     private String userQuery;
     private List<String> plan;
     private String currentStep;
+    private int currentStepIndex; // position of currentStep in plan; history spans every iteration
     private List<ExecutionStep> executionHistory;
     private String synthesis;
     private double qualityScore;
     private int iterationCount;
+    private int rejectedLlmCalls; // calls this run skipped because the circuit breaker was open
+    private boolean escalated; // executor steps bypass the fast model after a low-quality evaluation
     private String nextAction; // "plan", "execute", "evaluate", "finish"
 
     public AgentState copy() {
@@ -28,10 +31,13 @@ public class AgentState {
         copy.userQuery = this.userQuery;
         copy.plan = this.plan != null ? new ArrayList<>(this.plan) : null;
         copy.currentStep = this.currentStep;
+        copy.currentStepIndex = this.currentStepIndex;
         copy.executionHistory = this.executionHistory != null ? new ArrayList<>(this.executionHistory) : null;
         copy.synthesis = this.synthesis;
         copy.qualityScore = this.qualityScore;
         copy.iterationCount = this.iterationCount;
+        copy.rejectedLlmCalls = this.rejectedLlmCalls;
+        copy.escalated = this.escalated;
         copy.nextAction = this.nextAction;
         return copy;
     }
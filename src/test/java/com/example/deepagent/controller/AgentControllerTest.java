@@ -9,6 +9,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -39,7 +40,9 @@ class AgentControllerTest {
                 .andExpect(jsonPath("$.iterations").exists())
                 .andExpect(jsonPath("$.qualityScore").exists())
                 .andExpect(jsonPath("$.planSteps").isArray())
-                .andExpect(jsonPath("$.planSteps.length()").value(3));
+                .andExpect(jsonPath("$.planSteps.length()").value(3))
+                .andExpect(jsonPath("$.circuitBreakerState").isString())
+                .andExpect(jsonPath("$.rejectedLlmCalls").isNumber());
     }
 
     @Test
@@ -57,4 +60,15 @@ class AgentControllerTest {
                 .andExpect(jsonPath("$.qualityScore").isNumber())
                 .andExpect(jsonPath("$.iterations").isNumber());
     }
+
+    @Test
+    void testCircuitBreakerMetricsReportEveryNode() throws Exception {
+        mockMvc.perform(get("/api/agent/metrics/circuit-breaker"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.state").isString())
+                .andExpect(jsonPath("$.nodes.planner").exists())
+                .andExpect(jsonPath("$.nodes.executor").exists())
+                .andExpect(jsonPath("$.nodes.synthesis").exists())
+                .andExpect(jsonPath("$.nodes.evaluation").exists());
+    }
 }
@@ -0,0 +1,83 @@
+package com.example.deepagent.graph.node;
+
+import com.example.deepagent.config.AgentConfig;
+import com.example.deepagent.llm.LlmCircuitBreaker;
+import com.example.deepagent.model.AgentState;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class EvaluatorNodeTest {
+
+    private AgentConfig agentConfig;
+    private EvaluatorNode evaluatorNode;
+
+    @BeforeEach
+    void setUp() {
+        agentConfig = new AgentConfig();
+        agentConfig.getRouting().setEnabled(true);
+
+        // Synthesis returns an answer, evaluation scores it below the 0.75 threshold
+        ChatClient chatClient = mock(ChatClient.class);
+        ChatClient.ChatClientRequestSpec requestSpec = mock(ChatClient.ChatClientRequestSpec.class);
+        ChatClient.CallResponseSpec responseSpec = mock(ChatClient.CallResponseSpec.class);
+        when(chatClient.prompt()).thenReturn(requestSpec);
+        when(requestSpec.user(anyString())).thenReturn(requestSpec);
+        when(requestSpec.options(any())).thenReturn(requestSpec);
+        when(requestSpec.call()).thenReturn(responseSpec);
+        when(responseSpec.content()).thenReturn("Synthesized answer", "0.3");
+
+        ChatClient.Builder builder = mock(ChatClient.Builder.class);
+        when(builder.build()).thenReturn(chatClient);
+
+        evaluatorNode = new EvaluatorNode(builder, agentConfig, new LlmCircuitBreaker(agentConfig));
+    }
+
+    @Test
+    void testLowQualityEscalatesWhenRoutingEnabled() {
+        // When
+        AgentState state = evaluatorNode.execute(evaluatedState());
+
+        // Then
+        assertEquals("plan", state.getNextAction());
+        assertTrue(state.isEscalated());
+    }
+
+    @Test
+    void testLowQualityDoesNotEscalateWhenRoutingDisabled() {
+        // Given
+        agentConfig.getRouting().setEnabled(false);
+
+        // When
+        AgentState state = evaluatorNode.execute(evaluatedState());
+
+        // Then
+        assertEquals("plan", state.getNextAction());
+        assertFalse(state.isEscalated());
+    }
+
+    @Test
+    void testLowQualityDoesNotEscalateWhenEscalationDisabled() {
+        // Given
+        agentConfig.getRouting().setEscalateOnLowQuality(false);
+
+        // When
+        AgentState state = evaluatorNode.execute(evaluatedState());
+
+        // Then
+        assertEquals("plan", state.getNextAction());
+        assertFalse(state.isEscalated());
+    }
+
+    private AgentState evaluatedState() {
+        AgentState state = AgentState.createInitial("What is Spring Boot?");
+        state.setIterationCount(1);
+        return state;
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.deepagent.graph.node;
+
+import com.example.deepagent.config.AgentConfig;
+import com.example.deepagent.llm.LlmCircuitBreaker;
+import com.example.deepagent.llm.ModelRouter;
+import com.example.deepagent.model.AgentState;
+import com.example.deepagent.model.ExecutionStep;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ExecutorNodeTest {
+
+    private ExecutorNode executorNode;
+
+    @BeforeEach
+    void setUp() {
+        AgentConfig agentConfig = new AgentConfig();
+
+        ChatClient chatClient = mock(ChatClient.class);
+        ChatClient.ChatClientRequestSpec requestSpec = mock(ChatClient.ChatClientRequestSpec.class);
+        ChatClient.CallResponseSpec responseSpec = mock(ChatClient.CallResponseSpec.class);
+        when(chatClient.prompt()).thenReturn(requestSpec);
+        when(requestSpec.user(anyString())).thenReturn(requestSpec);
+        when(requestSpec.options(any())).thenReturn(requestSpec);
+        when(requestSpec.call()).thenReturn(responseSpec);
+        when(responseSpec.content()).thenReturn("Step result");
+
+        ChatClient.Builder builder = mock(ChatClient.Builder.class);
+        when(builder.build()).thenReturn(chatClient);
+
+        executorNode = new ExecutorNode(builder, new ModelRouter(agentConfig), new LlmCircuitBreaker(agentConfig));
+    }
+
+    @Test
+    void testReplannedRunExecutesEveryStepOfNewPlan() {
+        // Given - history from a previous iteration and a fresh three-step plan
+        AgentState state = AgentState.createInitial("What is Spring Boot?");
+        for (int i = 1; i <= 3; i++) {
+            state.getExecutionHistory().add(new ExecutionStep(i, "Earlier step", "Done", LocalDateTime.now()));
+        }
+        state.setPlan(List.of("First", "Second", "Third"));
+        state.setCurrentStep("First");
+        state.setCurrentStepIndex(0);
+
+        // When
+        state = executorNode.execute(state);
+
+        // Then - moves on within the new plan instead of jumping to evaluation
+        assertEquals("execute", state.getNextAction());
+        assertEquals("Second", state.getCurrentStep());
+        assertEquals(1, state.getCurrentStepIndex());
+
+        // When
+        state = executorNode.execute(executorNode.execute(state));
+
+        // Then
+        assertEquals("evaluate", state.getNextAction());
+        assertEquals(6, state.getExecutionHistory().size());
+    }
+}
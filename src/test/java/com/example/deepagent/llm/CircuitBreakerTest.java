@@ -0,0 +1,193 @@
+package com.example.deepagent.llm;
+
+import com.example.deepagent.config.AgentConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CircuitBreakerTest {
+
+    private static final Duration FAST = Duration.ofMillis(10);
+
+    private AgentConfig.CircuitBreakerSettings settings;
+
+    @BeforeEach
+    void setUp() {
+        settings = new AgentConfig.CircuitBreakerSettings();
+        settings.setSlidingWindowSize(4);
+        settings.setMinimumNumberOfCalls(4);
+        settings.setSlowCallDuration(Duration.ofSeconds(1));
+        settings.setSlowCallRateThreshold(0.5);
+        settings.setPermittedCallsInHalfOpenState(1);
+    }
+
+    @Test
+    void testOpensWhenFailureRateReachesThreshold() {
+        // Given
+        CircuitBreaker breaker = new CircuitBreaker("openai", settings);
+
+        // When
+        complete(breaker, false, FAST);
+        complete(breaker, false, FAST);
+        complete(breaker, true, FAST);
+        complete(breaker, true, FAST);
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission().isEmpty());
+    }
+
+    @Test
+    void testOpensWhenSlowCallRateReachesThreshold() {
+        // Given
+        CircuitBreaker breaker = new CircuitBreaker("openai", settings);
+
+        // When
+        complete(breaker, false, FAST);
+        complete(breaker, false, FAST);
+        complete(breaker, false, Duration.ofSeconds(2));
+        complete(breaker, false, Duration.ofSeconds(2));
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void testStaysClosedBelowMinimumNumberOfCalls() {
+        // Given
+        CircuitBreaker breaker = new CircuitBreaker("openai", settings);
+
+        // When
+        complete(breaker, true, FAST);
+        complete(breaker, true, FAST);
+
+        // Then
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission().isPresent());
+    }
+
+    @Test
+    void testHalfOpenProbeClosesOrReopensCircuit() {
+        // Given
+        settings.setWaitDurationInOpenState(Duration.ZERO);
+        CircuitBreaker breaker = new CircuitBreaker("openai", settings);
+        for (int i = 0; i < 4; i++) {
+            complete(breaker, true, FAST);
+        }
+
+        // When - a failed probe reopens the circuit
+        CircuitBreaker.Permit probe = breaker.tryAcquirePermission().orElseThrow();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission().isEmpty());
+        breaker.onResult(probe, true, FAST);
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        // When - a successful probe closes it
+        complete(breaker, false, FAST);
+
+        // Then
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void testStaleResultDoesNotCountAsHalfOpenProbe() {
+        // Given - a call admitted while closed is still running when the circuit opens
+        settings.setWaitDurationInOpenState(Duration.ZERO);
+        CircuitBreaker breaker = new CircuitBreaker("openai", settings);
+        CircuitBreaker.Permit stale = breaker.tryAcquirePermission().orElseThrow();
+        for (int i = 0; i < 4; i++) {
+            complete(breaker, true, FAST);
+        }
+        CircuitBreaker.Permit probe = breaker.tryAcquirePermission().orElseThrow();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        // When - the stale call succeeds before the probe finishes
+        breaker.onResult(stale, false, FAST);
+
+        // Then - the breaker keeps waiting for the real probe
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission().isEmpty());
+
+        // When
+        breaker.onResult(probe, false, FAST);
+
+        // Then
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void testSingleSlowProbeDoesNotReopenCircuit() {
+        // Given
+        settings.setWaitDurationInOpenState(Duration.ZERO);
+        settings.setPermittedCallsInHalfOpenState(3);
+        CircuitBreaker breaker = new CircuitBreaker("openai", settings);
+        for (int i = 0; i < 4; i++) {
+            complete(breaker, true, FAST);
+        }
+
+        // When - one slow but successful probe among three
+        CircuitBreaker.Permit first = breaker.tryAcquirePermission().orElseThrow();
+        CircuitBreaker.Permit second = breaker.tryAcquirePermission().orElseThrow();
+        CircuitBreaker.Permit third = breaker.tryAcquirePermission().orElseThrow();
+        breaker.onResult(first, false, Duration.ofSeconds(2));
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        breaker.onResult(second, false, FAST);
+        breaker.onResult(third, false, FAST);
+
+        // Then
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+    }
+
+    @Test
+    void testReleasedProbeFreesItsSlot() {
+        // Given
+        settings.setWaitDurationInOpenState(Duration.ZERO);
+        CircuitBreaker breaker = new CircuitBreaker("openai", settings);
+        for (int i = 0; i < 4; i++) {
+            complete(breaker, true, FAST);
+        }
+        CircuitBreaker.Permit probe = breaker.tryAcquirePermission().orElseThrow();
+        assertTrue(breaker.tryAcquirePermission().isEmpty());
+
+        // When - the probe ended without a provider-side outcome
+        breaker.release(probe);
+
+        // Then
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission().isPresent());
+    }
+
+    @Test
+    void testMinimumNumberOfCallsIsClampedToWindow() {
+        // Given
+        settings.setMinimumNumberOfCalls(50);
+        CircuitBreaker breaker = new CircuitBreaker("openai", settings);
+
+        // When
+        for (int i = 0; i < 4; i++) {
+            complete(breaker, true, FAST);
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    void testRejectsInvalidSettings() {
+        settings.setSlidingWindowSize(0);
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker("openai", settings));
+
+        settings.setSlidingWindowSize(4);
+        settings.setPermittedCallsInHalfOpenState(0);
+        assertThrows(IllegalArgumentException.class, () -> new CircuitBreaker("openai", settings));
+    }
+
+    private void complete(CircuitBreaker breaker, boolean failed, Duration duration) {
+        breaker.onResult(breaker.tryAcquirePermission().orElseThrow(), failed, duration);
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.deepagent.llm;
+
+import com.example.deepagent.model.ExecutionStep;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompiledTemplateTest {
+
+    @Test
+    void testRenderSubstitutesPlaceholders() {
+        // Given
+        CompiledTemplate template = CompiledTemplate.compile("Hello {{name}}, step {{ step }}.");
+
+        // When
+        String rendered = template.render(Map.of("name", "agent", "step", "2"));
+
+        // Then
+        assertEquals("Hello agent, step 2.", rendered);
+    }
+
+    @Test
+    void testRenderFailsOnMissingValue() {
+        // Given
+        CompiledTemplate template = CompiledTemplate.compile("Task: {{query}}");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> template.render(Map.of()));
+    }
+
+    @Test
+    void testCompileFailsOnUnclosedPlaceholder() {
+        assertThrows(IllegalArgumentException.class, () -> CompiledTemplate.compile("Task: {{query"));
+    }
+
+    @Test
+    void testExecutionPromptPrefixIsStableAsHistoryGrows() {
+        // Given
+        List<ExecutionStep> history = new ArrayList<>();
+        history.add(new ExecutionStep(1, "Research", "Found sources", LocalDateTime.now()));
+        String first = PromptTemplates.EXECUTION.render(Map.of(
+                "query", "What is Spring Boot?",
+                "history", PromptTemplates.renderHistory(history),
+                "step", "Analyze"
+        ));
+
+        // When
+        history.add(new ExecutionStep(2, "Analyze", "Key points", LocalDateTime.now()));
+        String second = PromptTemplates.EXECUTION.render(Map.of(
+                "query", "What is Spring Boot?",
+                "history", PromptTemplates.renderHistory(history),
+                "step", "Summarize"
+        ));
+
+        // Then - the preamble, query and history before the instructions are reused verbatim
+        assertTrue(second.startsWith(cacheablePrefix(first)));
+    }
+
+    @Test
+    void testSynthesisPromptReusesPrefixOfLastExecutionPrompt() {
+        // Given - the last executor call sees every step but its own
+        List<ExecutionStep> history = new ArrayList<>();
+        history.add(new ExecutionStep(1, "Research", "Found sources", LocalDateTime.now()));
+        String execution = PromptTemplates.EXECUTION.render(Map.of(
+                "query", "What is Spring Boot?",
+                "history", PromptTemplates.renderHistory(history),
+                "step", "Analyze"
+        ));
+
+        // When
+        history.add(new ExecutionStep(2, "Analyze", "Key points", LocalDateTime.now()));
+        String synthesis = PromptTemplates.SYNTHESIS.render(Map.of(
+                "query", "What is Spring Boot?",
+                "history", PromptTemplates.renderHistory(history)
+        ));
+
+        // Then
+        assertTrue(synthesis.startsWith(cacheablePrefix(execution)));
+    }
+
+    private String cacheablePrefix(String prompt) {
+        return prompt.substring(0, prompt.indexOf("\nTask:"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.deepagent.llm;
+
+import com.example.deepagent.config.AgentConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.retry.NonTransientAiException;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LlmCircuitBreakerTest {
+
+    private LlmCircuitBreaker circuitBreaker;
+
+    @BeforeEach
+    void setUp() {
+        AgentConfig agentConfig = new AgentConfig();
+        agentConfig.getCircuitBreaker().setMinimumNumberOfCalls(3);
+        circuitBreaker = new LlmCircuitBreaker(agentConfig);
+    }
+
+    @Test
+    void testReportsAllNodesBeforeAnyCall() {
+        // When
+        LlmCircuitBreaker.Snapshot snapshot = circuitBreaker.snapshot();
+
+        // Then
+        assertEquals("CLOSED", snapshot.state());
+        assertEquals(4, snapshot.nodes().size());
+        assertTrue(snapshot.nodes().keySet().containsAll(
+                List.of("planner", "executor", "synthesis", "evaluation")));
+    }
+
+    @Test
+    void testFailuresInOneNodeFailOtherNodesFast() {
+        // Given - the planner and executor hit a degraded provider
+        fail(LlmNode.PLANNER);
+        fail(LlmNode.EXECUTOR);
+        fail(LlmNode.EXECUTOR);
+
+        // When & Then - synthesis never reaches the provider
+        assertThrows(CallNotPermittedException.class,
+                () -> circuitBreaker.call(LlmNode.SYNTHESIS, () -> "unreachable"));
+
+        LlmCircuitBreaker.Snapshot snapshot = circuitBreaker.snapshot();
+        assertEquals("OPEN", snapshot.state());
+        assertEquals(1, snapshot.nodes().get("planner").failures());
+        assertEquals(2, snapshot.nodes().get("executor").failures());
+        assertEquals(0, snapshot.nodes().get("synthesis").calls());
+        assertEquals(1, snapshot.nodes().get("synthesis").rejected());
+    }
+
+    @Test
+    void testNonTransientErrorsDoNotOpenCircuit() {
+        // Given - one run keeps sending an oversized prompt
+        for (int i = 0; i < 5; i++) {
+            assertThrows(NonTransientAiException.class, () -> circuitBreaker.call(LlmNode.EXECUTOR, () -> {
+                throw new NonTransientAiException("400 - context_length_exceeded");
+            }));
+        }
+
+        // When
+        String result = circuitBreaker.call(LlmNode.SYNTHESIS, () -> "answer");
+
+        // Then
+        assertEquals("answer", result);
+        LlmCircuitBreaker.Snapshot snapshot = circuitBreaker.snapshot();
+        assertEquals("CLOSED", snapshot.state());
+        assertEquals(0, snapshot.nodes().get("executor").failures());
+    }
+
+    @Test
+    void testClassifiesProviderFailures() {
+        assertTrue(LlmCircuitBreaker.isProviderFailure(new TransientAiException("503 - overloaded")));
+        assertTrue(LlmCircuitBreaker.isProviderFailure(new NonTransientAiException("429 - rate limit")));
+        assertTrue(LlmCircuitBreaker.isProviderFailure(new ResourceAccessException("Read timed out")));
+        assertTrue(LlmCircuitBreaker.isProviderFailure(new RuntimeException(new TransientAiException("500"))));
+        assertFalse(LlmCircuitBreaker.isProviderFailure(new NonTransientAiException("401 - invalid api key")));
+        assertFalse(LlmCircuitBreaker.isProviderFailure(new IllegalStateException("bug")));
+    }
+
+    private void fail(LlmNode node) {
+        assertThrows(TransientAiException.class, () -> circuitBreaker.call(node, () -> {
+            throw new TransientAiException("503 - provider unavailable");
+        }));
+    }
+}
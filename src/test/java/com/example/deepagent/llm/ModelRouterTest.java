@@ -0,0 +1,115 @@
+package com.example.deepagent.llm;
+
+import com.example.deepagent.config.AgentConfig;
+import com.example.deepagent.model.AgentState;
+import com.example.deepagent.model.ExecutionStep;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.openai.OpenAiChatOptions;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModelRouterTest {
+
+    private AgentConfig agentConfig;
+    private ModelRouter modelRouter;
+
+    @BeforeEach
+    void setUp() {
+        agentConfig = new AgentConfig();
+        agentConfig.getExecutor().setModel("large-model");
+        agentConfig.getRouting().setEnabled(true);
+        agentConfig.getRouting().getFast().setModel("fast-model");
+        modelRouter = new ModelRouter(agentConfig);
+    }
+
+    @Test
+    void testSimpleStepRoutesToFastModel() {
+        // Given
+        AgentState state = stateAtStep("List the official documentation pages");
+
+        // When
+        OpenAiChatOptions options = modelRouter.selectExecutorOptions(state);
+
+        // Then
+        assertEquals("fast-model", options.getModel());
+    }
+
+    @Test
+    void testComplexStepRoutesToExecutorModel() {
+        // Given
+        AgentState state = stateAtStep("Analyze and compare the trade-offs of each approach");
+
+        // When
+        OpenAiChatOptions options = modelRouter.selectExecutorOptions(state);
+
+        // Then
+        assertEquals("large-model", options.getModel());
+    }
+
+    @Test
+    void testEscalatedRunRoutesToExecutorModel() {
+        // Given
+        AgentState state = stateAtStep("List the official documentation pages");
+        state.setEscalated(true);
+
+        // When
+        OpenAiChatOptions options = modelRouter.selectExecutorOptions(state);
+
+        // Then
+        assertEquals("large-model", options.getModel());
+    }
+
+    @Test
+    void testFinalStepPositionComesFromCurrentPlanAfterReplanning() {
+        // Given - history carried over from a previous iteration
+        AgentState state = stateAtStep("Analyze the documentation pages");
+        state.getExecutionHistory().add(new ExecutionStep(1, "Earlier step", "Done", LocalDateTime.now()));
+        state.getExecutionHistory().add(new ExecutionStep(2, "Earlier step", "Done", LocalDateTime.now()));
+
+        // When
+        int complexity = modelRouter.estimateComplexity(state.getCurrentStep(), false);
+        OpenAiChatOptions options = modelRouter.selectExecutorOptions(state);
+
+        // Then - first step of the new plan is not treated as the final one
+        assertEquals(2, complexity);
+        assertEquals("fast-model", options.getModel());
+    }
+
+    @Test
+    void testFinalStepUsesTrackedIndexWithDuplicateStepTexts() {
+        // Given - the same text appears earlier in the plan
+        AgentState state = stateAtStep("Analyze the documentation pages");
+        state.setPlan(List.of("Analyze the documentation pages", "Analyze the documentation pages"));
+        state.setCurrentStepIndex(1);
+
+        // When
+        OpenAiChatOptions options = modelRouter.selectExecutorOptions(state);
+
+        // Then - the final step gets its +1 and crosses the threshold
+        assertEquals("large-model", options.getModel());
+    }
+
+    @Test
+    void testDisabledRoutingAlwaysUsesExecutorModel() {
+        // Given
+        agentConfig.getRouting().setEnabled(false);
+        AgentState state = stateAtStep("List the official documentation pages");
+
+        // When
+        OpenAiChatOptions options = modelRouter.selectExecutorOptions(state);
+
+        // Then
+        assertEquals("large-model", options.getModel());
+    }
+
+    private AgentState stateAtStep(String step) {
+        AgentState state = AgentState.createInitial("What is Spring Boot?");
+        state.setPlan(List.of(step, "Write the final answer"));
+        state.setCurrentStep(step);
+        return state;
+    }
+}
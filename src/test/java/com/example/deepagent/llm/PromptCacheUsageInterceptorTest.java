@@ -0,0 +1,108 @@
+package com.example.deepagent.llm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.mock.http.client.MockClientHttpRequest;
+import org.springframework.mock.http.client.MockClientHttpResponse;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PromptCacheUsageInterceptorTest {
+
+    private static final URI CHAT_URI = URI.create("https://api.openai.com/v1/chat/completions");
+
+    private PromptCacheMetrics metrics;
+    private PromptCacheUsageInterceptor interceptor;
+
+    @BeforeEach
+    void setUp() {
+        metrics = new PromptCacheMetrics();
+        interceptor = new PromptCacheUsageInterceptor(metrics, new ObjectMapper());
+    }
+
+    @Test
+    void testRecordsCachedTokensAndKeepsBodyReadable() throws IOException {
+        // Given
+        String body = """
+                {"choices":[],"usage":{"prompt_tokens":2000,"completion_tokens":50,
+                "prompt_tokens_details":{"cached_tokens":1536}}}""";
+
+        // When
+        ClientHttpResponse response = intercept(CHAT_URI, body, MediaType.APPLICATION_JSON);
+
+        // Then
+        PromptCacheMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.requests());
+        assertEquals(2000, snapshot.promptTokens());
+        assertEquals(1536, snapshot.cachedTokens());
+        assertEquals(0.768, snapshot.hitRate(), 1e-9);
+        assertEquals(body, StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testRecordsZeroCachedTokensWithoutPromptTokenDetails() throws IOException {
+        // Given
+        String body = """
+                {"choices":[],"usage":{"prompt_tokens":300,"completion_tokens":20}}""";
+
+        // When
+        ClientHttpResponse response = intercept(CHAT_URI, body, MediaType.APPLICATION_JSON);
+
+        // Then
+        PromptCacheMetrics.Snapshot snapshot = metrics.snapshot();
+        assertEquals(1, snapshot.requests());
+        assertEquals(300, snapshot.promptTokens());
+        assertEquals(0, snapshot.cachedTokens());
+        assertEquals(body, StreamUtils.copyToString(response.getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testNonJsonResponsePassesThroughUntouched() throws IOException {
+        // Given
+        MockClientHttpResponse original = response("data: {}", MediaType.TEXT_EVENT_STREAM);
+
+        // When
+        ClientHttpResponse response = interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.POST, CHAT_URI), new byte[0], (req, b) -> original);
+
+        // Then
+        assertSame(original, response);
+        assertEquals(0, metrics.snapshot().requests());
+    }
+
+    @Test
+    void testNonChatResponsePassesThroughUntouched() throws IOException {
+        // Given
+        MockClientHttpResponse original = response("{\"usage\":{\"prompt_tokens\":10}}", MediaType.APPLICATION_JSON);
+
+        // When
+        ClientHttpResponse response = interceptor.intercept(
+                new MockClientHttpRequest(HttpMethod.POST, URI.create("https://api.openai.com/v1/embeddings")),
+                new byte[0], (req, b) -> original);
+
+        // Then
+        assertSame(original, response);
+        assertEquals(0, metrics.snapshot().requests());
+    }
+
+    private ClientHttpResponse intercept(URI uri, String body, MediaType contentType) throws IOException {
+        MockClientHttpResponse original = response(body, contentType);
+        return interceptor.intercept(new MockClientHttpRequest(HttpMethod.POST, uri), new byte[0], (req, b) -> original);
+    }
+
+    private MockClientHttpResponse response(String body, MediaType contentType) {
+        MockClientHttpResponse response = new MockClientHttpResponse(body.getBytes(StandardCharsets.UTF_8), HttpStatus.OK);
+        response.getHeaders().setContentType(contentType);
+        return response;
+    }
+}